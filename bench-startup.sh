@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# Kotlin Script Runner - Startup Benchmark
+#
+# Launches the runner repeatedly in three configurations and reports the
+# average time-to-first-frame and time-to-interactive (logged by the
+# runner, measured from JVM start) and the wall-clock time of the whole
+# process (measured here, including JVM exit):
+#   Baseline         - highlighting set up before the first frame
+#                      (-Dscriptrunner.eagerStartup=true), no app CDS
+#   Deferred init    - highlighting set up after the first paint, no app CDS
+#   Deferred + CDS   - deferred init with the application CDS archive
+# Configurations without app CDS still use the JDK's default archive.
+# Run ./build.sh first so that bin/ScriptRunner.jar and bin/ScriptRunner.jsa exist.
+# Usage: ./bench-startup.sh [runs]
+
+RUNS=${1:-10}
+
+if [ ! -f bin/ScriptRunner.jar ]; then
+    echo "❌ Error: bin/ScriptRunner.jar not found, run ./build.sh first"
+    exit 1
+fi
+
+if [ ! -f bin/ScriptRunner.jsa ]; then
+    echo "❌ Error: bin/ScriptRunner.jsa not found, run ./build.sh first"
+    exit 1
+fi
+
+# Run the runner RUNS times with the given JVM options and print the
+# average of each logged startup phase and of the process wall-clock time
+measure() {
+    local label="$1"
+    shift
+    local frame_total=0
+    local interactive_total=0
+    local process_total=0
+
+    for ((i = 1; i <= RUNS; i++)); do
+        local output
+        local start=$(date +%s%N)
+        output=$(java "$@" -Dscriptrunner.exitAfterStartup=true -cp bin/ScriptRunner.jar ScriptRunner 2>/dev/null)
+        local end=$(date +%s%N)
+        local frame=$(echo "$output" | sed -n 's/^\[startup\] time-to-first-frame: \([0-9]*\) ms$/\1/p')
+        local interactive=$(echo "$output" | sed -n 's/^\[startup\] time-to-interactive: \([0-9]*\) ms$/\1/p')
+
+        if [ -z "$frame" ] || [ -z "$interactive" ]; then
+            echo "❌ Error: run $i did not report startup times (is a display available?)"
+            exit 1
+        fi
+
+        frame_total=$((frame_total + frame))
+        interactive_total=$((interactive_total + interactive))
+        process_total=$((process_total + (end - start) / 1000000))
+    done
+
+    printf "%-22s first frame: %5d ms   interactive: %5d ms   process: %5d ms\n" \
+        "$label" $((frame_total / RUNS)) $((interactive_total / RUNS)) $((process_total / RUNS))
+}
+
+echo "================================================"
+echo "Kotlin Script Runner - Startup Benchmark ($RUNS runs)"
+echo "================================================"
+echo ""
+
+measure "Baseline:" -Dscriptrunner.eagerStartup=true -Xshare:auto
+measure "Deferred init:" -Xshare:auto
+measure "Deferred + CDS:" -XX:SharedArchiveFile=bin/ScriptRunner.jsa -Xshare:auto
@@ -1,5 +1,6 @@
 @echo off
 REM Kotlin Script Runner - Build and Run Script for Windows
+REM Usage: build.bat [script.kts]
 
 echo ================================================
 echo Kotlin Script Runner - Build Script
@@ -38,17 +39,42 @@ if not exist bin mkdir bin
 
 echo.
 echo Compiling ScriptRunner.java...
-javac -d bin src\ScriptRunner.java
+javac -encoding UTF-8 -d bin\classes src\ScriptRunner.java
 
-if %errorlevel% equ 0 (
-    echo Compilation successful
-    echo.
-    echo Launching Kotlin Script Runner...
-    echo ================================================
-    echo.
-    java -cp bin ScriptRunner
-) else (
+if %errorlevel% neq 0 (
     echo Compilation failed
     exit /b 1
 )
 
+echo Compilation successful
+
+REM CDS only accepts jar files on the class path
+jar --create --file bin\ScriptRunner.jar --main-class ScriptRunner -C bin\classes .
+
+REM Build a class-data-sharing (AppCDS) archive from a training run that
+REM exits as soon as the UI is interactive. The archive must be rebuilt
+REM after every compile, since the JVM rejects it once the jar changes.
+echo.
+echo Creating class-data-sharing archive...
+REM The archive is created read-only, so it must be force-deleted
+set CDS_OPTS=
+if exist bin\classes.lst del /F /Q bin\classes.lst
+if exist bin\ScriptRunner.jsa del /F /Q bin\ScriptRunner.jsa
+java -Xshare:off -XX:DumpLoadedClassList=bin\classes.lst -Dscriptrunner.exitAfterStartup=true -cp bin\ScriptRunner.jar ScriptRunner >nul 2>nul
+if errorlevel 1 goto cds_done
+java -Xshare:dump -XX:SharedClassListFile=bin\classes.lst -XX:SharedArchiveFile=bin\ScriptRunner.jsa -cp bin\ScriptRunner.jar >nul 2>nul
+if errorlevel 1 goto cds_done
+set CDS_OPTS=-XX:SharedArchiveFile=bin\ScriptRunner.jsa -Xshare:auto
+:cds_done
+
+if defined CDS_OPTS (
+    echo CDS archive created: bin\ScriptRunner.jsa
+) else (
+    echo Warning: CDS archive could not be created, starting without it
+)
+
+echo.
+echo Launching Kotlin Script Runner...
+echo ================================================
+echo.
+java %CDS_OPTS% -cp bin\ScriptRunner.jar ScriptRunner %*
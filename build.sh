@@ -1,6 +1,7 @@
 #!/bin/bash
 
 # Kotlin Script Runner - Build and Run Script
+# Usage: ./build.sh [script.kts]
 
 echo "================================================"
 echo "Kotlin Script Runner - Build Script"
@@ -35,17 +36,38 @@ mkdir -p bin
 
 echo ""
 echo "Compiling ScriptRunner.java..."
-javac -d bin src/ScriptRunner.java
+javac -encoding UTF-8 -d bin/classes src/ScriptRunner.java
 
-if [ $? -eq 0 ]; then
-    echo "✓ Compilation successful"
-    echo ""
-    echo "Launching Kotlin Script Runner..."
-    echo "================================================"
-    echo ""
-    java -cp bin ScriptRunner
-else
+if [ $? -ne 0 ]; then
     echo "❌ Compilation failed"
     exit 1
 fi
 
+echo "✓ Compilation successful"
+
+# CDS only accepts jar files on the class path
+jar --create --file bin/ScriptRunner.jar --main-class ScriptRunner -C bin/classes .
+
+# Build a class-data-sharing (AppCDS) archive from a training run that
+# exits as soon as the UI is interactive. The archive must be rebuilt
+# after every compile, since the JVM rejects it once the jar changes.
+echo ""
+echo "Creating class-data-sharing archive..."
+rm -f bin/classes.lst bin/ScriptRunner.jsa
+
+CDS_OPTS=""
+if java -Xshare:off -XX:DumpLoadedClassList=bin/classes.lst \
+       -Dscriptrunner.exitAfterStartup=true -cp bin/ScriptRunner.jar ScriptRunner > /dev/null 2>&1 &&
+   java -Xshare:dump -XX:SharedClassListFile=bin/classes.lst \
+       -XX:SharedArchiveFile=bin/ScriptRunner.jsa -cp bin/ScriptRunner.jar > /dev/null 2>&1; then
+    echo "✓ CDS archive created: bin/ScriptRunner.jsa"
+    CDS_OPTS="-XX:SharedArchiveFile=bin/ScriptRunner.jsa -Xshare:auto"
+else
+    echo "⚠️  Warning: CDS archive could not be created, starting without it"
+fi
+
+echo ""
+echo "Launching Kotlin Script Runner..."
+echo "================================================"
+echo ""
+java $CDS_OPTS -cp bin/ScriptRunner.jar ScriptRunner "$@"
@@ -0,0 +1,6 @@
+// Helper file: imports its own helper
+@file:Import("text-utils.kts")
+
+fun greeting(name: String): String {
+    return banner("Hello, $name!")
+}
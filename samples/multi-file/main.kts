@@ -0,0 +1,15 @@
+// Example: Multi-file script with imported helper files
+// Run with: ./build.sh samples/multi-file/main.kts
+// Helpers are compiled once and cached per file; after an edit only the
+// changed file and the files that import it are recompiled.
+@file:Import("greetings.kt")
+
+fun main() {
+    println("=== Multi-File Script Demo ===\n")
+
+    for (name in listOf("Alice", "Bob", "Charlie")) {
+        println(greeting(name))
+    }
+
+    println("\nScript finished successfully.")
+}
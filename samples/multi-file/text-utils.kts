@@ -0,0 +1,5 @@
+// Helper file: declarations only, no top-level statements
+
+fun banner(text: String): String {
+    return "*** $text ***"
+}
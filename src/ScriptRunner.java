@@ -5,12 +5,18 @@ import javax.swing.text.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
+import java.lang.management.ManagementFactory;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.List;
 import java.util.regex.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
  * A GUI tool for executing Kotlin scripts with live output display.
@@ -21,6 +27,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * - Clickable error locations with line numbers
  * - Running status indicator
  * - Exit code indicator
+ * - Multi-file scripts via @file:Import with cached helper compilation
  * - Robust edge case handling
  */
 public class ScriptRunner extends JFrame {
@@ -35,6 +42,9 @@ public class ScriptRunner extends JFrame {
     
     // Process management
     private volatile Process currentProcess;
+    private final Set<Process> compileProcesses = ConcurrentHashMap.newKeySet();
+    private volatile AtomicBoolean runCancelled = new AtomicBoolean(false);
+    private volatile String mainScriptFileName;
     private ExecutorService executorService;
     private AtomicBoolean isExecuting = new AtomicBoolean(false);
     
@@ -50,6 +60,17 @@ public class ScriptRunner extends JFrame {
     // Output tracking
     private int outputLineCount = 0;
     
+    // Multi-file scripts: imports resolve against the directory of the opened script
+    private volatile Path scriptDirectory = Paths.get(System.getProperty("user.dir"));
+    private static final Path COMPILE_CACHE_DIR =
+        Paths.get(System.getProperty("java.io.tmpdir"), "kotlin-script-runner-cache");
+    private static final Pattern IMPORT_ANNOTATION_PATTERN =
+        Pattern.compile("^[ \\t]*@file:Import\\(([^)]*)\\)[ \\t]*$", Pattern.MULTILINE);
+    private static final int MAX_CACHED_HELPERS = 200;
+    private static final int MAX_PARALLEL_COMPILES =
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final Pattern QUOTED_PATH_PATTERN = Pattern.compile("\"([^\"]+)\"");
+    
     // Kotlin keywords for syntax highlighting
     private static final Set<String> KOTLIN_KEYWORDS = new HashSet<>(Arrays.asList(
         "fun", "val", "var", "class", "object", "interface", "enum", "package", "import",
@@ -59,7 +80,13 @@ public class ScriptRunner extends JFrame {
         "init", "constructor", "this", "super", "null", "true", "false"
     ));
     
-    // Text styles
+    // Startup: exit once the UI is interactive (used for CDS training runs and the benchmark),
+    // and optionally do all highlighting setup before the first frame (benchmark baseline)
+    private static final boolean EXIT_AFTER_STARTUP = Boolean.getBoolean("scriptrunner.exitAfterStartup");
+    private static final boolean EAGER_STARTUP = Boolean.getBoolean("scriptrunner.eagerStartup");
+    private long firstFrameMillis;
+    
+    // Text styles (created after the first frame is painted, see finishStartup())
     private Style defaultStyle;
     private Style keywordStyle;
     private Style stringStyle;
@@ -72,8 +99,63 @@ public class ScriptRunner extends JFrame {
         setupDefaultScript();
         setupShutdownHook();
         
-        // Force initial line number update
-        SwingUtilities.invokeLater(() -> updateLineNumbers());
+        if (EAGER_STARTUP) {
+            setupStyles();
+            applySyntaxHighlighting();
+        }
+    }
+    
+    /**
+     * Root pane with a one-shot hook on its first paint, which marks the first
+     * frame and schedules the deferred startup work.
+     */
+    @Override
+    protected JRootPane createRootPane() {
+        return new JRootPane() {
+            private boolean painted = false;
+            
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                if (!painted) {
+                    painted = true;
+                    firstFrameMillis = System.currentTimeMillis();
+                    SwingUtilities.invokeLater(() -> finishStartup());
+                }
+            }
+        };
+    }
+    
+    /**
+     * Non-essential startup work, run on the EDT after the first frame is painted.
+     */
+    private void finishStartup() {
+        if (defaultStyle == null) {
+            setupStyles();
+            applySyntaxHighlighting();
+        }
+        final long frameMillis = firstFrameMillis;
+        final long interactiveMillis = System.currentTimeMillis();
+        
+        // Look up the JVM start time off the EDT, after the measured phases
+        executorService.submit(() -> {
+            long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+            logStartupPhase("time-to-first-frame", frameMillis - jvmStartMillis);
+            logStartupPhase("time-to-interactive", interactiveMillis - jvmStartMillis);
+            
+            if (EXIT_AFTER_STARTUP) {
+                System.exit(0);
+            }
+        });
+    }
+    
+    /**
+     * Log a startup phase, in milliseconds since JVM start. Measured from JVM
+     * start rather than class initialization, so JVM boot and AWT/Swing
+     * class loading (loaded with the JFrame superclass) are included.
+     */
+    private static void logStartupPhase(String phase, long elapsedMillis) {
+        System.out.println("[startup] " + phase + ": " + elapsedMillis + " ms");
     }
     
     /**
@@ -85,6 +167,9 @@ public class ScriptRunner extends JFrame {
             if (currentProcess != null && currentProcess.isAlive()) {
                 currentProcess.destroyForcibly();
             }
+            for (Process process : compileProcesses) {
+                process.destroyForcibly();
+            }
             // Shutdown executor service
             if (executorService != null && !executorService.isShutdown()) {
                 executorService.shutdownNow();
@@ -151,7 +236,6 @@ public class ScriptRunner extends JFrame {
         editorPane = new JTextPane();
         editorPane.setFont(new Font("Monospaced", Font.PLAIN, 14));
         editorDoc = editorPane.getStyledDocument();
-        setupStyles();
         
         // Line number area
         lineNumberArea = new JTextArea("1");
@@ -261,14 +345,45 @@ public class ScriptRunner extends JFrame {
             "}\n";
         
         try {
-            editorDoc.insertString(0, defaultScript, defaultStyle);
-            applySyntaxHighlighting();
+            // Plain insert; highlighting is applied in finishStartup()
+            editorDoc.insertString(0, defaultScript, null);
             updateLineNumbers();
         } catch (BadLocationException e) {
             e.printStackTrace();
         }
     }
     
+    /**
+     * Load a script file into the editor; its directory becomes the base for @file:Import paths
+     */
+    private void openScript(Path file) {
+        try {
+            // Edge case: Script too large
+            if (Files.size(file) > MAX_SCRIPT_SIZE) {
+                JOptionPane.showMessageDialog(this, 
+                    "Script is too large: " + file, 
+                    "Script Too Large", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                scriptDirectory = parent;
+            }
+            setTitle("Kotlin Script Runner - " + file.getFileName());
+            
+            editorDoc.remove(0, editorDoc.getLength());
+            editorDoc.insertString(0, content, null);
+            applySyntaxHighlighting();
+            updateLineNumbers();
+        } catch (IOException | BadLocationException e) {
+            JOptionPane.showMessageDialog(this, 
+                "Error opening script: " + e.getMessage(), 
+                "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+    
     /**
      * Update line numbers in the line number area
      */
@@ -304,6 +419,11 @@ public class ScriptRunner extends JFrame {
     }
     
     private void applySyntaxHighlighting() {
+        // Edge case: Styles are not created until startup finishes
+        if (defaultStyle == null) {
+            return;
+        }
+        
         try {
             String text = editorDoc.getText(0, editorDoc.getLength());
             
@@ -436,14 +556,18 @@ public class ScriptRunner extends JFrame {
             return;
         }
         
+        // Blank out @file:Import lines (keeps line numbers); the imports are compiled separately
+        final Path baseDirectory = scriptDirectory;
+        final String scriptBody = stripImports(rawScript);
+        
         // Auto-detect and call main() if it exists but isn't called
-        final String scriptContent = ensureMainIsCalled(rawScript);
+        final String scriptContent = ensureMainIsCalled(scriptBody);
         
         // Reset output line counter
         outputLineCount = 0;
         
         // Show notification if main() was auto-added
-        if (scriptContent.length() > rawScript.length()) {
+        if (scriptContent.length() > scriptBody.length()) {
             outputArea.setText("[Note: main() function detected and will be called automatically]\n\n");
         } else {
             outputArea.setText("");
@@ -456,17 +580,36 @@ public class ScriptRunner extends JFrame {
         statusLabel.setForeground(new Color(76, 175, 80));
         exitCodeLabel.setText("");
         
+        // Each run gets its own cancellation flag, set by stopScript()
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        runCancelled = cancelled;
+        
         // Run script in background
         executorService.submit(() -> {
             File tempScript = null;
             boolean completedNormally = false;
             try {
+                // Compile imported helper files that are not already cached
+                List<HelperFile> helpers = resolveImports(rawScript, baseDirectory);
+                List<String> classpath = compileImports(helpers, cancelled);
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+                
                 // Create temporary script file with proper encoding
                 tempScript = File.createTempFile("kotlin_script_", ".kts");
                 Files.write(tempScript.toPath(), scriptContent.getBytes(StandardCharsets.UTF_8));
+                mainScriptFileName = tempScript.getName();
                 
                 // Execute script
-                ProcessBuilder pb = new ProcessBuilder("/usr/bin/env", "kotlinc", "-script", tempScript.getAbsolutePath());
+                List<String> command = new ArrayList<>(Arrays.asList("/usr/bin/env", "kotlinc"));
+                if (!classpath.isEmpty()) {
+                    command.add("-cp");
+                    command.add(String.join(File.pathSeparator, classpath));
+                }
+                command.add("-script");
+                command.add(tempScript.getAbsolutePath());
+                ProcessBuilder pb = new ProcessBuilder(command);
                 pb.redirectErrorStream(true);
                 
                 // Edge case: Set environment encoding
@@ -475,6 +618,10 @@ public class ScriptRunner extends JFrame {
                 env.put("LC_ALL", "en_US.UTF-8");
                 
                 currentProcess = pb.start();
+                // Edge case: Stop pressed while the process was starting
+                if (cancelled.get()) {
+                    currentProcess.destroyForcibly();
+                }
                 
                 // Read output in real-time with proper encoding
                 BufferedReader reader = new BufferedReader(
@@ -507,6 +654,9 @@ public class ScriptRunner extends JFrame {
                 
                 // Wait for process to complete
                 int exitCode = currentProcess.waitFor();
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
                 final int finalExitCode = exitCode;
                 completedNormally = true;
                 
@@ -536,6 +686,8 @@ public class ScriptRunner extends JFrame {
                     }
                 });
                 
+            } catch (CancellationException e) {
+                // Stopped by user; stopScript() has already updated the UI
             } catch (IOException | InterruptedException e) {
                 final String errorMsg = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
                 SwingUtilities.invokeLater(() -> {
@@ -588,9 +740,440 @@ public class ScriptRunner extends JFrame {
         });
     }
     
+    /**
+     * Replace @file:Import lines with empty lines so kotlinc ignores them
+     * while error line numbers still match the editor.
+     */
+    private static String stripImports(String script) {
+        return IMPORT_ANNOTATION_PATTERN.matcher(script).replaceAll("");
+    }
+    
+    /**
+     * Parse the @file:Import paths of a script, resolved against its directory
+     */
+    private static List<Path> parseImports(String script, Path baseDirectory) {
+        List<Path> imports = new ArrayList<>();
+        Matcher annotationMatcher = IMPORT_ANNOTATION_PATTERN.matcher(script);
+        while (annotationMatcher.find()) {
+            Matcher pathMatcher = QUOTED_PATH_PATTERN.matcher(annotationMatcher.group(1));
+            while (pathMatcher.find()) {
+                imports.add(baseDirectory.resolve(pathMatcher.group(1)).toAbsolutePath().normalize());
+            }
+        }
+        return imports;
+    }
+    
+    /**
+     * Build the import graph of a script and return its helper files in
+     * dependency order, each with a cache key covering its own content and
+     * the keys of everything it imports.
+     */
+    private static List<HelperFile> resolveImports(String script, Path baseDirectory) throws IOException {
+        List<HelperFile> ordered = new ArrayList<>();
+        Map<Path, HelperFile> resolved = new HashMap<>();
+        Map<String, Path> classNames = new HashMap<>();
+        Deque<Path> importStack = new ArrayDeque<>();
+        for (Path path : parseImports(script, baseDirectory)) {
+            resolveHelper(path, resolved, classNames, importStack, ordered);
+        }
+        return ordered;
+    }
+    
+    private static HelperFile resolveHelper(Path path, Map<Path, HelperFile> resolved, Map<String, Path> classNames,
+                                            Deque<Path> importStack, List<HelperFile> ordered) throws IOException {
+        HelperFile existing = resolved.get(path);
+        if (existing != null) {
+            return existing;
+        }
+        
+        // Edge case: Import cycles cannot be compiled file by file
+        if (importStack.contains(path)) {
+            StringBuilder cycle = new StringBuilder();
+            for (Iterator<Path> it = importStack.descendingIterator(); it.hasNext(); ) {
+                cycle.append(it.next().getFileName()).append(" -> ");
+            }
+            throw new IOException("Import cycle: " + cycle + path.getFileName());
+        }
+        
+        String fileName = path.getFileName().toString();
+        if (!fileName.endsWith(".kt") && !fileName.endsWith(".kts")) {
+            throw new IOException("Imported file must be .kt or .kts: " + path);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("Imported file not found: " + path);
+        }
+        
+        // Edge case: Helpers with the same base name would compile to the same class
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        if (baseName.isEmpty()) {
+            throw new IOException("Imported file has no name: " + path);
+        }
+        String className = facadeClassName(baseName);
+        Path clash = classNames.putIfAbsent(className, path);
+        if (clash != null) {
+            throw new IOException("Imported files " + clash + " and " + path +
+                " both compile to class " + className + "; rename one of them");
+        }
+        
+        String source = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        importStack.push(path);
+        List<HelperFile> dependencies = new ArrayList<>();
+        for (Path dependency : parseImports(source, path.getParent())) {
+            dependencies.add(resolveHelper(dependency, resolved, classNames, importStack, ordered));
+        }
+        importStack.pop();
+        
+        HelperFile helper = new HelperFile(path, baseName, stripImports(source), dependencies);
+        resolved.put(path, helper);
+        ordered.add(helper);
+        return helper;
+    }
+    
+    /**
+     * Name of the class kotlinc generates for a file's top-level declarations:
+     * characters other than letters and digits become '_', and the first
+     * ASCII letter is capitalized (text-utils.kt -> Text_utilsKt).
+     */
+    private static String facadeClassName(String baseName) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < baseName.length(); i++) {
+            char c = baseName.charAt(i);
+            name.append(Character.isLetterOrDigit(c) ? c : '_');
+        }
+        char first = name.charAt(0);
+        if (first >= 'a' && first <= 'z') {
+            name.setCharAt(0, Character.toUpperCase(first));
+        }
+        return name.append("Kt").toString();
+    }
+    
+    /**
+     * Make compiled output available for every helper and return the class path.
+     * Each helper has its own cache entry; missing ones (changed files and their
+     * dependents) are compiled one dependency level at a time, and the helpers
+     * within a level are compiled in parallel.
+     */
+    private List<String> compileImports(List<HelperFile> helpers, AtomicBoolean cancelled)
+            throws IOException, InterruptedException {
+        List<String> classpath = new ArrayList<>();
+        if (helpers.isEmpty()) {
+            return classpath;
+        }
+        Files.createDirectories(COMPILE_CACHE_DIR);
+        
+        // Helpers arrive in dependency order, so each level is known before its dependents
+        Map<HelperFile, Integer> levels = new HashMap<>();
+        TreeMap<Integer, List<HelperFile>> staleByLevel = new TreeMap<>();
+        for (HelperFile helper : helpers) {
+            int level = 0;
+            for (HelperFile dependency : helper.dependencies) {
+                level = Math.max(level, levels.get(dependency) + 1);
+            }
+            levels.put(helper, level);
+            
+            if (Files.isDirectory(helper.cacheEntry)) {
+                appendOutput("[Up to date: " + helper.path.getFileName() + "]");
+            } else {
+                staleByLevel.computeIfAbsent(level, l -> new ArrayList<>()).add(helper);
+            }
+        }
+        
+        for (List<HelperFile> level : staleByLevel.values()) {
+            List<String> failed = compileLevel(level, cancelled);
+            if (!failed.isEmpty()) {
+                throw new IOException("Compilation of " + String.join(", ", failed) + " failed");
+            }
+        }
+        
+        for (HelperFile helper : helpers) {
+            classpath.add(helper.cacheEntry.resolve("classes").toString());
+            Files.setLastModifiedTime(helper.cacheEntry, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        pruneCompileCache(helpers);
+        return classpath;
+    }
+    
+    /**
+     * Compile the helpers of one dependency level in parallel, each into its
+     * own cache entry. Returns the names of the helpers that failed.
+     */
+    private List<String> compileLevel(List<HelperFile> level, AtomicBoolean cancelled)
+            throws IOException, InterruptedException {
+        List<String> names = new ArrayList<>();
+        for (HelperFile helper : level) {
+            names.add(helper.path.getFileName().toString());
+        }
+        appendOutput("[Compiling: " + String.join(", ", names) + "]");
+        
+        Semaphore slots = new Semaphore(MAX_PARALLEL_COMPILES);
+        List<List<String>> outputs = new ArrayList<>();
+        List<Future<Integer>> results = new ArrayList<>();
+        for (HelperFile helper : level) {
+            List<String> output = new ArrayList<>();
+            outputs.add(output);
+            results.add(executorService.submit(() -> {
+                slots.acquire();
+                try {
+                    return compileHelper(helper, output, cancelled);
+                } finally {
+                    slots.release();
+                }
+            }));
+        }
+        
+        // Collect in order so each helper's messages stay together
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < level.size(); i++) {
+            int exitCode;
+            try {
+                exitCode = results.get(i).get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException) {
+                    throw (CancellationException) cause;
+                }
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            }
+            
+            for (String line : outputs.get(i)) {
+                // Edge case: Compiler output counts toward the output limit
+                if (outputLineCount < MAX_OUTPUT_LINES) {
+                    outputLineCount++;
+                    appendOutput(line);
+                }
+            }
+            if (exitCode != 0) {
+                failed.add(names.get(i));
+            }
+        }
+        return failed;
+    }
+    
+    /**
+     * Compile one helper with kotlinc into its cache entry, with the entries of
+     * its imports on the class path. Compiler messages are added to output.
+     * Returns the compiler exit code; throws CancellationException if stopped.
+     */
+    private int compileHelper(HelperFile helper, List<String> output, AtomicBoolean cancelled)
+            throws IOException, InterruptedException {
+        if (cancelled.get()) {
+            throw new CancellationException();
+        }
+        
+        Path workDir = Files.createTempDirectory(COMPILE_CACHE_DIR, "tmp_");
+        try {
+            // Helpers are compiled as regular Kotlin sources, so .kts helpers get a .kt name
+            Path sourceDir = workDir.resolve("src");
+            Files.createDirectories(sourceDir);
+            Path source = sourceDir.resolve(helper.baseName + ".kt");
+            Files.write(source, helper.source.getBytes(StandardCharsets.UTF_8));
+            
+            List<String> command = new ArrayList<>(Arrays.asList("/usr/bin/env", "kotlinc"));
+            Set<HelperFile> dependencies = new LinkedHashSet<>();
+            helper.collectDependencies(dependencies);
+            if (!dependencies.isEmpty()) {
+                List<String> entries = new ArrayList<>();
+                for (HelperFile dependency : dependencies) {
+                    entries.add(dependency.cacheEntry.resolve("classes").toString());
+                }
+                command.add("-cp");
+                command.add(String.join(File.pathSeparator, entries));
+            }
+            command.add("-module-name");
+            command.add("helper_" + helper.key.substring(0, 12));
+            command.add("-d");
+            command.add(workDir.resolve("classes").toString());
+            command.add(source.toString());
+            
+            // Compiler messages name the temporary copy; map them back to the user's file
+            Map<String, String> sourcePaths = new HashMap<>();
+            sourcePaths.put(source.toString() + ":", helper.path + ":");
+            sourcePaths.put(source.getFileName() + ":", helper.path + ":");
+            
+            ProcessBuilder pb = new ProcessBuilder(command);
+            pb.directory(sourceDir.toFile());
+            pb.redirectErrorStream(true);
+            pb.environment().put("LANG", "en_US.UTF-8");
+            pb.environment().put("LC_ALL", "en_US.UTF-8");
+            Process process = pb.start();
+            compileProcesses.add(process);
+            try {
+                // Edge case: Stop pressed while the compiler was starting
+                if (cancelled.get()) {
+                    process.destroyForcibly();
+                }
+                
+                BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    output.add(rewriteSourcePath(line, sourcePaths));
+                }
+                int exitCode = process.waitFor();
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+                
+                if (exitCode == 0) {
+                    // Publish atomically; the source file marks the entry as complete
+                    deleteRecursively(sourceDir);
+                    Files.write(workDir.resolve("source"), helper.path.toString().getBytes(StandardCharsets.UTF_8));
+                    try {
+                        Files.move(workDir, helper.cacheEntry, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                        // Same key, same output
+                    }
+                }
+                return exitCode;
+            } finally {
+                compileProcesses.remove(process);
+            }
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+    
+    /**
+     * Delete cache entries compiled from an older version of a current helper,
+     * and keep at most MAX_CACHED_HELPERS of the rest, most recently used first.
+     */
+    private static void pruneCompileCache(List<HelperFile> helpers) throws IOException {
+        Set<Path> currentEntries = new HashSet<>();
+        Set<Path> currentPaths = new HashSet<>();
+        for (HelperFile helper : helpers) {
+            currentEntries.add(helper.cacheEntry);
+            currentPaths.add(helper.path);
+        }
+        
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(COMPILE_CACHE_DIR)) {
+            for (Path entry : stream) {
+                if (Files.isDirectory(entry) && !entry.getFileName().toString().startsWith("tmp_")) {
+                    entries.add(entry);
+                }
+            }
+        }
+        Map<Path, Long> lastUsed = new HashMap<>();
+        for (Path entry : entries) {
+            lastUsed.put(entry, entry.toFile().lastModified());
+        }
+        entries.sort((a, b) -> Long.compare(lastUsed.get(b), lastUsed.get(a)));
+        
+        int kept = 0;
+        for (Path entry : entries) {
+            if (currentEntries.contains(entry)) {
+                kept++;
+                continue;
+            }
+            Path source;
+            try {
+                source = Paths.get(new String(Files.readAllBytes(entry.resolve("source")), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                source = null;
+            }
+            if (source == null || currentPaths.contains(source) || kept >= MAX_CACHED_HELPERS) {
+                deleteRecursively(entry);
+            } else {
+                kept++;
+            }
+        }
+    }
+    
+    /**
+     * Replace a leading temporary source path (absolute, or relative to the
+     * compiler's working directory) with the original helper path
+     */
+    private static String rewriteSourcePath(String line, Map<String, String> sourcePaths) {
+        for (Map.Entry<String, String> entry : sourcePaths.entrySet()) {
+            if (line.startsWith(entry.getKey())) {
+                return entry.getValue() + line.substring(entry.getKey().length());
+            }
+        }
+        return line;
+    }
+    
+    private void appendOutput(String line) {
+        SwingUtilities.invokeLater(() -> outputArea.append(line + "\n"));
+    }
+    
+    private static void deleteRecursively(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    // Ignore deletion errors
+                }
+            });
+        } catch (IOException e) {
+            // Ignore deletion errors
+        }
+    }
+    
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest(text.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * A helper file in the import graph. The cache key hashes the file name
+     * (it determines the generated class name), the source and the keys of
+     * all imports, so an edit invalidates the file and all its dependents.
+     */
+    private static final class HelperFile {
+        final Path path;
+        final String baseName;
+        final String source;
+        final List<HelperFile> dependencies;
+        final String key;
+        final Path cacheEntry;
+        
+        HelperFile(Path path, String baseName, String source, List<HelperFile> dependencies) {
+            this.path = path;
+            this.baseName = baseName;
+            this.source = source;
+            this.dependencies = dependencies;
+            
+            StringBuilder keySource = new StringBuilder();
+            keySource.append(path.getFileName()).append('\0').append(source);
+            for (HelperFile dependency : dependencies) {
+                keySource.append('\0').append(dependency.key);
+            }
+            this.key = sha256(keySource.toString());
+            this.cacheEntry = COMPILE_CACHE_DIR.resolve(key);
+        }
+        
+        void collectDependencies(Set<HelperFile> result) {
+            for (HelperFile dependency : dependencies) {
+                if (result.add(dependency)) {
+                    dependency.collectDependencies(result);
+                }
+            }
+        }
+    }
+    
     private void stopScript() {
-        if (currentProcess != null && currentProcess.isAlive()) {
-            currentProcess.destroyForcibly();
+        // Also covers the gaps between processes, e.g. while imports are resolved
+        if (isExecuting.get()) {
+            runCancelled.set(true);
+            Process process = currentProcess;
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            for (Process compileProcess : compileProcesses) {
+                compileProcess.destroyForcibly();
+            }
             outputArea.append("\n--- Script stopped by user ---\n");
             stopButton.setEnabled(false);
             runButton.setEnabled(true);
@@ -609,6 +1192,12 @@ public class ScriptRunner extends JFrame {
             int lineEnd = outputArea.getLineEndOffset(outputArea.getLineOfOffset(offset));
             String line = outputArea.getText(lineStart, lineEnd - lineStart);
             
+            // Only locations in the main script map to the editor; helper errors name their own file
+            String mainFile = mainScriptFileName;
+            if (mainFile == null || !line.contains(mainFile)) {
+                return;
+            }
+            
             // Pattern to match error locations: "script:2:1:" or "file.kts:2:1:"
             Pattern errorPattern = Pattern.compile(".*\\.(kts|kt):(\\d+):(\\d+):");
             Matcher matcher = errorPattern.matcher(line);
@@ -659,15 +1248,18 @@ public class ScriptRunner extends JFrame {
     }
     
     public static void main(String[] args) {
-        // Set look and feel
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        
         SwingUtilities.invokeLater(() -> {
+            // Set look and feel on the EDT, right before the first component is built
+            try {
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            
             ScriptRunner app = new ScriptRunner();
+            if (args.length > 0) {
+                app.openScript(Paths.get(args[0]));
+            }
             app.setVisible(true);
         });
     }